@@ -0,0 +1,102 @@
+package com.example.banking.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrency limit that follows measured latency using a gradient algorithm.
+ * A long-term exponential average of request latency is compared with each new sample:
+ * while samples stay near the average the limit grows by a small queue allowance, and
+ * when samples rise above it the limit shrinks in proportion. Requests beyond the current
+ * limit are refused immediately instead of queueing.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final double SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double LONG_WINDOW = 100;
+    private static final double DRIFT_RATIO = 2.0;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private volatile double limit;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid limits for " + name + ": min " + minLimit + ", max " + maxLimit);
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Reserves a slot if fewer than the current limit are in flight.
+     * Every successful call must be paired with {@link #onComplete(long)} or {@link #release()}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a slot and feeds the request latency into the limit calculation.
+     * Use {@link #release()} instead for requests whose latency says nothing about load,
+     * such as fast client errors.
+     */
+    public void onComplete(long rttNanos) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        if (rttNanos > 0) {
+            update(rttNanos, inFlightAtCompletion);
+        }
+    }
+
+    /**
+     * Releases a slot without sampling its latency.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    private synchronized void update(long rttNanos, int inFlightAtCompletion) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+            return;
+        }
+        longRttNanos += (rttNanos - longRttNanos) / LONG_WINDOW;
+        // Let the baseline recover quickly after a sustained slowdown ends
+        if (longRttNanos / rttNanos > DRIFT_RATIO) {
+            longRttNanos *= 0.95;
+        }
+
+        double current = limit;
+        // Growing the limit while it is not being used would only let a later burst through
+        if (inFlightAtCompletion < current / 2) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, longRttNanos / rttNanos));
+        double queueSize = Math.sqrt(current);
+        double target = current * gradient + queueSize;
+        double next = current * (1 - SMOOTHING) + target * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    public String getName() { return name; }
+    public int getLimit() { return (int) limit; }
+    public int getInFlight() { return inFlight.get(); }
+    public long getRejectedCount() { return rejected.get(); }
+}
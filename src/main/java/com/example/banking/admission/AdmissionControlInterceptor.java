@@ -0,0 +1,117 @@
+package com.example.banking.admission;
+
+import com.example.banking.exception.TooManyRequestsException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sheds load in front of the service layer. Writes (account creation and transfers) and
+ * bulk reads (the list endpoints) have separate adaptive limits, so a burst of exports
+ * cannot take the capacity that transfers need. Requests over the limit are rejected with
+ * 429 before any work is done.
+ */
+@Component
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlInterceptor.class);
+    private static final String LIMITER_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".limiter";
+    private static final String START_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".start";
+    private static final long REJECTION_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final boolean enabled;
+    private final long retryAfterSeconds;
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+    private final AdaptiveConcurrencyLimiter bulkReadLimiter;
+    // Shed requests are counted by the limiters and summarized at most once per interval,
+    // so overload does not also become one log line per rejected request
+    private final AtomicLong lastRejectionLogNanos = new AtomicLong(System.nanoTime() - REJECTION_LOG_INTERVAL_NANOS);
+    private final AtomicLong rejectionsLogged = new AtomicLong();
+
+    public AdmissionControlInterceptor(
+            @Value("${banking.admission.enabled:true}") boolean enabled,
+            @Value("${banking.admission.retry-after-seconds:1}") long retryAfterSeconds,
+            @Value("${banking.admission.writes.initial-limit:20}") int writeInitialLimit,
+            @Value("${banking.admission.writes.min-limit:4}") int writeMinLimit,
+            @Value("${banking.admission.writes.max-limit:200}") int writeMaxLimit,
+            @Value("${banking.admission.bulk-reads.initial-limit:4}") int bulkReadInitialLimit,
+            @Value("${banking.admission.bulk-reads.min-limit:1}") int bulkReadMinLimit,
+            @Value("${banking.admission.bulk-reads.max-limit:16}") int bulkReadMaxLimit) {
+        this.enabled = enabled;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.writeLimiter = new AdaptiveConcurrencyLimiter("writes", writeInitialLimit, writeMinLimit, writeMaxLimit);
+        this.bulkReadLimiter = new AdaptiveConcurrencyLimiter("bulk-reads", bulkReadInitialLimit, bulkReadMinLimit, bulkReadMaxLimit);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled) {
+            return true;
+        }
+        AdaptiveConcurrencyLimiter limiter = limiterFor(request);
+        if (limiter == null) {
+            return true;
+        }
+        if (!limiter.tryAcquire()) {
+            logRejections();
+            throw new TooManyRequestsException("Server is busy, retry after " + retryAfterSeconds + " second(s)", retryAfterSeconds);
+        }
+        request.setAttribute(LIMITER_ATTRIBUTE, limiter);
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object limiter = request.getAttribute(LIMITER_ATTRIBUTE);
+        if (limiter instanceof AdaptiveConcurrencyLimiter acquired) {
+            // Fast failures such as validation errors would drag the latency baseline down
+            // and inflate the limit, so only successful requests are sampled
+            if (ex == null && response.getStatus() < 400) {
+                long start = (Long) request.getAttribute(START_ATTRIBUTE);
+                acquired.onComplete(System.nanoTime() - start);
+            } else {
+                acquired.release();
+            }
+            request.removeAttribute(LIMITER_ATTRIBUTE);
+        }
+    }
+
+    private void logRejections() {
+        long now = System.nanoTime();
+        long last = lastRejectionLogNanos.get();
+        if (now - last < REJECTION_LOG_INTERVAL_NANOS || !lastRejectionLogNanos.compareAndSet(last, now)) {
+            return;
+        }
+        long total = writeLimiter.getRejectedCount() + bulkReadLimiter.getRejectedCount();
+        long sinceLastLog = total - rejectionsLogged.getAndSet(total);
+        logger.warn("Shed {} requests in the last {}s; limits: writes {} (in flight {}), bulk-reads {} (in flight {})",
+                sinceLastLog, TimeUnit.NANOSECONDS.toSeconds(now - last),
+                writeLimiter.getLimit(), writeLimiter.getInFlight(),
+                bulkReadLimiter.getLimit(), bulkReadLimiter.getInFlight());
+    }
+
+    private AdaptiveConcurrencyLimiter limiterFor(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+        if ("POST".equals(method) && ("/api/transactions".equals(path) || "/api/accounts".equals(path))) {
+            return writeLimiter;
+        }
+        if ("GET".equals(method) && ("/api/transactions".equals(path) || "/api/accounts".equals(path)
+                || "/api/accounts/total-balance".equals(path)
+                // Per-account history scans every transaction, so it costs as much as a full list
+                || (path.startsWith("/api/accounts/") && path.endsWith("/transactions")))) {
+            return bulkReadLimiter;
+        }
+        return null;
+    }
+
+    public AdaptiveConcurrencyLimiter getWriteLimiter() { return writeLimiter; }
+    public AdaptiveConcurrencyLimiter getBulkReadLimiter() { return bulkReadLimiter; }
+}
@@ -1,8 +1,11 @@
 package com.example.banking.controller;
 
 import com.example.banking.dto.AccountDTO;
+import com.example.banking.dto.AccountPageDTO;
+import com.example.banking.dto.BalanceTotalDTO;
 import com.example.banking.dto.ErrorResponse;
 import com.example.banking.dto.TransactionDTO;
+import com.example.banking.logging.LogMarkers;
 import com.example.banking.service.BankingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,6 +17,7 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -31,6 +35,7 @@ public class BankingController {
     private static final Logger logger = LoggerFactory.getLogger(BankingController.class);
     private final BankingService bankingService;
     private static final BigDecimal ZERO = BigDecimal.ZERO;
+    private static final int MAX_PAGE_SIZE = 100;
 
     public BankingController(BankingService bankingService) {
         this.bankingService = bankingService;
@@ -51,6 +56,10 @@ public class BankingController {
         @ApiResponse(responseCode = "400", description = "Bad Request: Invalid or missing fields, or ID provided", content = @Content(
             schema = @Schema(implementation = ErrorResponse.class),
             examples = @ExampleObject(value = "{\"status\": 400, \"error\": \"Bad Request\", \"details\": {\"balance\": \"Balance must have at most two decimal places\", \"firstName\": \"First name is required\"}}")
+        )),
+        @ApiResponse(responseCode = "429", description = "Too Many Requests: Server is at its concurrency limit, retry after the Retry-After delay", content = @Content(
+            schema = @Schema(implementation = ErrorResponse.class),
+            examples = @ExampleObject(value = "{\"status\": 429, \"error\": \"Too Many Requests\", \"details\": {\"error\": \"Server is busy, retry after 1 second(s)\"}}")
         ))
     })
     @PostMapping("/accounts")
@@ -82,40 +91,112 @@ public class BankingController {
         }
 
         if (!errors.isEmpty()) {
-            logger.error("Validation errors: {}", errors);
             throw new IllegalArgumentException(errors.toString());
         }
 
-        logger.info("Creating account for {} {} with initial balance: {}", 
-            accountDTO.getFirstName(), accountDTO.getLastName(), accountDTO.getBalance());
+        if (logger.isInfoEnabled(LogMarkers.REQUEST_WRITE)) {
+            logger.info(LogMarkers.REQUEST_WRITE, "Creating account for {} {} with initial balance: {}",
+                accountDTO.getFirstName(), accountDTO.getLastName(), accountDTO.getBalance());
+        }
         AccountDTO createdAccount = bankingService.createAccount(accountDTO);
         return new ResponseEntity<>(createdAccount, HttpStatus.CREATED);
     }
 
-    @Operation(summary = "Get all accounts", description = "Retrieves a list of all accounts")
+    @Operation(summary = "Get all accounts", description = "Retrieves a list of all accounts with balances as of a single committed ledger version")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "List of accounts retrieved successfully", content = @Content(
             schema = @Schema(implementation = AccountDTO.class),
             examples = @ExampleObject(value = "[{\"id\": 1, \"balance\": 1000.00, \"firstName\": \"John\", \"lastName\": \"Doe\"}, {\"id\": 2, \"balance\": 500.00, \"firstName\": \"Jane\", \"lastName\": \"Smith\"}]")
+        )),
+        @ApiResponse(responseCode = "429", description = "Too Many Requests: Server is at its concurrency limit, retry after the Retry-After delay", content = @Content(
+            schema = @Schema(implementation = ErrorResponse.class),
+            examples = @ExampleObject(value = "{\"status\": 429, \"error\": \"Too Many Requests\", \"details\": {\"error\": \"Server is busy, retry after 1 second(s)\"}}")
         ))
     })
     @GetMapping("/accounts")
     public ResponseEntity<List<AccountDTO>> getAllAccounts() {
-        logger.info("Retrieving all accounts");
+        if (logger.isInfoEnabled(LogMarkers.REQUEST_READ)) {
+            logger.info(LogMarkers.REQUEST_READ, "Retrieving all accounts");
+        }
         List<AccountDTO> accounts = bankingService.getAllAccounts();
         return new ResponseEntity<>(accounts, HttpStatus.OK);
     }
 
+    @Operation(summary = "Get total balance", description = "Sums all account balances as of a single committed ledger version, so the total is never split by an in-flight transfer")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Total balance retrieved successfully", content = @Content(
+            schema = @Schema(implementation = BalanceTotalDTO.class),
+            examples = @ExampleObject(value = "{\"version\": 42, \"accountCount\": 2, \"totalBalance\": 1500.00}")
+        )),
+        @ApiResponse(responseCode = "429", description = "Too Many Requests: Server is at its concurrency limit, retry after the Retry-After delay", content = @Content(
+            schema = @Schema(implementation = ErrorResponse.class),
+            examples = @ExampleObject(value = "{\"status\": 429, \"error\": \"Too Many Requests\", \"details\": {\"error\": \"Server is busy, retry after 1 second(s)\"}}")
+        ))
+    })
+    @GetMapping("/accounts/total-balance")
+    public ResponseEntity<BalanceTotalDTO> getBalanceTotal() {
+        if (logger.isInfoEnabled(LogMarkers.REQUEST_READ)) {
+            logger.info(LogMarkers.REQUEST_READ, "Retrieving total balance");
+        }
+        BalanceTotalDTO total = bankingService.getBalanceTotal();
+        return new ResponseEntity<>(total, HttpStatus.OK);
+    }
+
+    @Operation(summary = "Search accounts by name", description = "Finds accounts by first and/or last name, case-insensitively. With prefix=true (the default) names are matched by prefix, otherwise exactly. Results are ordered by name and then by ID; pass the returned nextCursor as 'cursor' to fetch the next page. A page may hold fewer than 'size' accounts, or none, while nextCursor is still set; only a null nextCursor ends the results.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Matching accounts retrieved successfully", content = @Content(
+            schema = @Schema(implementation = AccountPageDTO.class),
+            examples = @ExampleObject(value = "{\"content\": [{\"id\": 1, \"balance\": 1000.00, \"firstName\": \"John\", \"lastName\": \"Doe\"}], \"size\": 20, \"nextCursor\": null}")
+        )),
+        @ApiResponse(responseCode = "400", description = "Bad Request: No name given, invalid cursor or invalid page size", content = @Content(
+            schema = @Schema(implementation = ErrorResponse.class),
+            examples = @ExampleObject(value = "{\"status\": 400, \"error\": \"Bad Request\", \"details\": {\"name\": \"At least one of firstName or lastName is required\"}}")
+        ))
+    })
+    @GetMapping("/accounts/search")
+    public ResponseEntity<AccountPageDTO> searchAccounts(
+            @Parameter(description = "Last name or last name prefix") @RequestParam(required = false) String lastName,
+            @Parameter(description = "First name or first name prefix") @RequestParam(required = false) String firstName,
+            @Parameter(description = "Match names by prefix instead of exactly") @RequestParam(defaultValue = "true") boolean prefix,
+            @Parameter(description = "nextCursor from the previous page; omit for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1 to " + MAX_PAGE_SIZE + ")") @RequestParam(defaultValue = "20") int size) {
+        Map<String, String> errors = new HashMap<>();
+
+        if ((firstName == null || firstName.trim().isEmpty()) && (lastName == null || lastName.trim().isEmpty())) {
+            errors.put("name", "At least one of firstName or lastName is required");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            errors.put("size", "Size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException(errors.toString());
+        }
+
+        if (logger.isInfoEnabled(LogMarkers.REQUEST_READ)) {
+            logger.info(LogMarkers.REQUEST_READ, "Searching accounts by firstName {} lastName {} (prefix: {}), size {}",
+                    firstName, lastName, prefix, size);
+        }
+        AccountPageDTO accounts = bankingService.searchAccounts(firstName, lastName, prefix, cursor, size);
+        return new ResponseEntity<>(accounts, HttpStatus.OK);
+    }
+
     @Operation(summary = "Get all transactions", description = "Retrieves a list of all transactions across all accounts")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "List of transactions retrieved successfully", content = @Content(
             schema = @Schema(implementation = TransactionDTO.class),
             examples = @ExampleObject(value = "[{\"id\": 1, \"fromAccountId\": 1, \"toAccountId\": 2, \"amount\": 50.00, \"timestamp\": \"2025-05-19T20:30:00.123\"}, {\"id\": 2, \"fromAccountId\": 2, \"toAccountId\": 1, \"amount\": 25.00, \"timestamp\": \"2025-05-19T20:31:00.456\"}]")
+        )),
+        @ApiResponse(responseCode = "429", description = "Too Many Requests: Server is at its concurrency limit, retry after the Retry-After delay", content = @Content(
+            schema = @Schema(implementation = ErrorResponse.class),
+            examples = @ExampleObject(value = "{\"status\": 429, \"error\": \"Too Many Requests\", \"details\": {\"error\": \"Server is busy, retry after 1 second(s)\"}}")
         ))
     })
     @GetMapping("/transactions")
     public ResponseEntity<List<TransactionDTO>> getAllTransactions() {
-        logger.info("Retrieving all transactions");
+        if (logger.isInfoEnabled(LogMarkers.REQUEST_READ)) {
+            logger.info(LogMarkers.REQUEST_READ, "Retrieving all transactions");
+        }
         List<TransactionDTO> transactions = bankingService.getAllTransactions();
         return new ResponseEntity<>(transactions, HttpStatus.OK);
     }
@@ -133,6 +214,10 @@ public class BankingController {
         @ApiResponse(responseCode = "404", description = "Account not found", content = @Content(
             schema = @Schema(implementation = ErrorResponse.class),
             examples = @ExampleObject(value = "{\"status\": 404, \"error\": \"Not Found\", \"details\": {\"error\": \"Account not found\"}}")
+        )),
+        @ApiResponse(responseCode = "429", description = "Too Many Requests: Server is at its concurrency limit, retry after the Retry-After delay", content = @Content(
+            schema = @Schema(implementation = ErrorResponse.class),
+            examples = @ExampleObject(value = "{\"status\": 429, \"error\": \"Too Many Requests\", \"details\": {\"error\": \"Server is busy, retry after 1 second(s)\"}}")
         ))
     })
     @PostMapping("/transactions")
@@ -164,12 +249,13 @@ public class BankingController {
         }
 
         if (!errors.isEmpty()) {
-            logger.error("Validation errors: {}", errors);
             throw new IllegalArgumentException(errors.toString());
         }
 
-        logger.info("Processing transfer from account {} to account {} for amount {}",
-                transactionDTO.getFromAccountId(), transactionDTO.getToAccountId(), transactionDTO.getAmount());
+        if (logger.isInfoEnabled(LogMarkers.REQUEST_WRITE)) {
+            logger.info(LogMarkers.REQUEST_WRITE, "Processing transfer from account {} to account {} for amount {}",
+                    transactionDTO.getFromAccountId(), transactionDTO.getToAccountId(), transactionDTO.getAmount());
+        }
         TransactionDTO transaction = bankingService.transferFunds(transactionDTO);
         return new ResponseEntity<>(transaction, HttpStatus.OK);
     }
@@ -182,12 +268,18 @@ public class BankingController {
         @ApiResponse(responseCode = "404", description = "Account not found", content = @Content(
             schema = @Schema(implementation = ErrorResponse.class),
             examples = @ExampleObject(value = "{\"status\": 404, \"error\": \"Not Found\", \"details\": {\"error\": \"Account not found\"}}")
+        )),
+        @ApiResponse(responseCode = "429", description = "Too Many Requests: Server is at its concurrency limit, retry after the Retry-After delay", content = @Content(
+            schema = @Schema(implementation = ErrorResponse.class),
+            examples = @ExampleObject(value = "{\"status\": 429, \"error\": \"Too Many Requests\", \"details\": {\"error\": \"Server is busy, retry after 1 second(s)\"}}")
         ))
     })
     @GetMapping("/accounts/{accountId}/transactions")
     public ResponseEntity<List<TransactionDTO>> getTransactionHistory(
             @Parameter(description = "ID of the account") @PathVariable Long accountId) {
-        logger.info("Retrieving transaction history for account {}", accountId);
+        if (logger.isInfoEnabled(LogMarkers.REQUEST_READ)) {
+            logger.info(LogMarkers.REQUEST_READ, "Retrieving transaction history for account {}", accountId);
+        }
         List<TransactionDTO> transactions = bankingService.getTransactionHistory(accountId);
         return new ResponseEntity<>(transactions, HttpStatus.OK);
     }
@@ -205,14 +297,18 @@ public class BankingController {
     @GetMapping("/accounts/{accountId}")
     public ResponseEntity<AccountDTO> getAccount(
             @Parameter(description = "ID of the account") @PathVariable Long accountId) {
-        logger.info("Retrieving account details for account {}", accountId);
+        if (logger.isInfoEnabled(LogMarkers.REQUEST_READ)) {
+            logger.info(LogMarkers.REQUEST_READ, "Retrieving account details for account {}", accountId);
+        }
         AccountDTO account = bankingService.getAccount(accountId);
         return new ResponseEntity<>(account, HttpStatus.OK);
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
-        logger.error("Validation error: {}", ex.getMessage());
+        if (logger.isWarnEnabled(LogMarkers.VALIDATION)) {
+            logger.warn(LogMarkers.VALIDATION, "Validation error: {}", ex.getMessage());
+        }
         Map<String, String> errors = new HashMap<>();
         try {
             String errorMsg = ex.getMessage();
@@ -232,7 +328,9 @@ public class BankingController {
 
     @ExceptionHandler(com.example.banking.exception.ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleResourceNotFoundException(com.example.banking.exception.ResourceNotFoundException ex) {
-        logger.error("Resource not found: {}", ex.getMessage());
+        if (logger.isWarnEnabled(LogMarkers.VALIDATION)) {
+            logger.warn(LogMarkers.VALIDATION, "Resource not found: {}", ex.getMessage());
+        }
         Map<String, String> errors = new HashMap<>();
         errors.put("error", ex.getMessage());
         ErrorResponse errorResponse = new ErrorResponse(404, "Not Found", errors);
@@ -241,16 +339,30 @@ public class BankingController {
 
     @ExceptionHandler(com.example.banking.exception.InsufficientFundsException.class)
     public ResponseEntity<ErrorResponse> handleInsufficientFundsException(com.example.banking.exception.InsufficientFundsException ex) {
-        logger.error("Insufficient funds: {}", ex.getMessage());
+        if (logger.isWarnEnabled(LogMarkers.VALIDATION)) {
+            logger.warn(LogMarkers.VALIDATION, "Insufficient funds: {}", ex.getMessage());
+        }
         Map<String, String> errors = new HashMap<>();
         errors.put("error", ex.getMessage());
         ErrorResponse errorResponse = new ErrorResponse(400, "Bad Request", errors);
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(com.example.banking.exception.TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyRequestsException(com.example.banking.exception.TooManyRequestsException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("error", ex.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(429, "Too Many Requests", errors);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(InvalidFormatException.class)
     public ResponseEntity<ErrorResponse> handleInvalidFormatException(InvalidFormatException ex) {
-        logger.error("Invalid format error: {}", ex.getMessage());
+        if (logger.isWarnEnabled(LogMarkers.VALIDATION)) {
+            logger.warn(LogMarkers.VALIDATION, "Invalid format error: {}", ex.getMessage());
+        }
         Map<String, String> errors = new HashMap<>();
         errors.put("error", "Invalid numeric format: " + ex.getValue());
         ErrorResponse errorResponse = new ErrorResponse(400, "Bad Request", errors);
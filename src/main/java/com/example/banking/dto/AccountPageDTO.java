@@ -0,0 +1,32 @@
+package com.example.banking.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "A page of accounts matching a search")
+public class AccountPageDTO {
+    @Schema(description = "Accounts on this page, ordered by name and then by ID")
+    private List<AccountDTO> content;
+
+    @Schema(description = "Maximum number of accounts per page", example = "20")
+    private int size;
+
+    @Schema(description = "Cursor to pass as 'cursor' to fetch the next page; null on the last page. Non-null cursors can lead to short or empty pages", example = "ZG9lAGpvaG4AMDAwMDAwMDAwMDAwMDAwMDAwMQ")
+    private String nextCursor;
+
+    public AccountPageDTO() {}
+
+    public AccountPageDTO(List<AccountDTO> content, int size, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<AccountDTO> getContent() { return content; }
+    public void setContent(List<AccountDTO> content) { this.content = content; }
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,32 @@
+package com.example.banking.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Sum of all account balances as of a single committed ledger version")
+public class BalanceTotalDTO {
+    @Schema(description = "Ledger version the total was read at", example = "42")
+    private long version;
+
+    @Schema(description = "Number of accounts that existed at that version", example = "2")
+    private int accountCount;
+
+    @Schema(description = "Sum of all account balances at that version", example = "1500.00")
+    private BigDecimal totalBalance;
+
+    public BalanceTotalDTO() {}
+
+    public BalanceTotalDTO(long version, int accountCount, BigDecimal totalBalance) {
+        this.version = version;
+        this.accountCount = accountCount;
+        this.totalBalance = totalBalance;
+    }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+    public int getAccountCount() { return accountCount; }
+    public void setAccountCount(int accountCount) { this.accountCount = accountCount; }
+    public BigDecimal getTotalBalance() { return totalBalance; }
+    public void setTotalBalance(BigDecimal totalBalance) { this.totalBalance = totalBalance; }
+}
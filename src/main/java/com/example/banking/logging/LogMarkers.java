@@ -0,0 +1,19 @@
+package com.example.banking.logging;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+/**
+ * Markers for the high-volume log lines, so each event type can be sampled separately
+ * by {@link SamplingTurboFilter} in logback-spring.xml. Sampling happens on the
+ * {@code isXxxEnabled(marker)} check, so every marked call must be wrapped in one;
+ * MarkedLogCallsTest fails the build when one is not. {@link #VALIDATION} covers every
+ * client error: invalid input, unknown accounts and insufficient funds.
+ */
+public final class LogMarkers {
+    public static final Marker REQUEST_READ = MarkerFactory.getMarker("REQUEST_READ");
+    public static final Marker REQUEST_WRITE = MarkerFactory.getMarker("REQUEST_WRITE");
+    public static final Marker VALIDATION = MarkerFactory.getMarker("VALIDATION");
+
+    private LogMarkers() {}
+}
@@ -0,0 +1,48 @@
+package com.example.banking.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps one in every {@code sampleRate} events carrying the configured marker and drops the rest.
+ * The decision is taken on the {@code isXxxEnabled(marker)} guard that must wrap each marked
+ * log call: logback passes that check no arguments, so a dropped event costs a marker check and
+ * a counter increment and allocates nothing. Log calls themselves are let through, because once
+ * any turbo filter is installed logback builds an argument array for every call with arguments
+ * before the filter runs, and sampling there would no longer be free.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+    private final AtomicLong counter = new AtomicLong();
+    private String marker;
+    private int sampleRate = 1;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // A non-null format is the log call inside an already admitted guard
+        if (!isStarted() || marker == null || format != null || sampleRate <= 1 || !marker.contains(this.marker)) {
+            return FilterReply.NEUTRAL;
+        }
+        return counter.getAndIncrement() % sampleRate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    @Override
+    public void start() {
+        if (marker == null) {
+            addError("No marker set for sampling filter " + getName());
+            return;
+        }
+        if (sampleRate < 1) {
+            addWarn("Sample rate " + sampleRate + " for marker " + marker + " is below 1, logging every event");
+            sampleRate = 1;
+        }
+        super.start();
+    }
+
+    public void setMarker(String marker) { this.marker = marker; }
+    public void setSampleRate(int sampleRate) { this.sampleRate = sampleRate; }
+}
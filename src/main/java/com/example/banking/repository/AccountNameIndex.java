@@ -0,0 +1,153 @@
+package com.example.banking.repository;
+
+import com.example.banking.model.Account;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Case-insensitive index over account first and last names.
+ * Two sorted concurrent maps hold composite keys "last\0first\0paddedId" and
+ * "first\0last\0paddedId". A query on one name, or on an exact name plus a second name,
+ * is a single key range. A query on two prefixes skips from one distinct last name to the
+ * next and seeks straight to the first-name range under each. Every step is one O(log n)
+ * seek, so a page costs O(log n) per result, and paging resumes from a cursor key instead of
+ * re-walking earlier pages. Last names without a matching first name still cost a seek each,
+ * so a page stops after {@link #MAX_SKIPS_PER_PAGE} of those and hands back a cursor to the
+ * position it reached; such a page can hold fewer than {@code limit} results, or none.
+ */
+class AccountNameIndex {
+    private static final char SEPARATOR = '\u0000';
+    private static final char AFTER_SEPARATOR = '\u0001';
+    static final int MAX_SKIPS_PER_PAGE = 256;
+
+    private final ConcurrentSkipListMap<String, Long> byLastFirst = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, Long> byFirstLast = new ConcurrentSkipListMap<>();
+    // Names as currently indexed, so renames can drop their stale keys even when the
+    // caller mutated the stored Account instance before saving it.
+    private final Map<Long, IndexedName> indexed = new ConcurrentHashMap<>();
+
+    record Page(List<Long> ids, String nextCursor) {}
+
+    void index(Account account) {
+        Long id = account.getId();
+        IndexedName current = new IndexedName(normalize(account.getFirstName()), normalize(account.getLastName()));
+        indexed.compute(id, (key, previous) -> {
+            if (previous != null) {
+                if (previous.equals(current)) {
+                    return previous;
+                }
+                byLastFirst.remove(key(previous.lastName(), previous.firstName(), id));
+                byFirstLast.remove(key(previous.firstName(), previous.lastName(), id));
+            }
+            byLastFirst.put(key(current.lastName(), current.firstName(), id), id);
+            byFirstLast.put(key(current.firstName(), current.lastName(), id), id);
+            return current;
+        });
+    }
+
+    /**
+     * Returns up to {@code limit} account IDs following {@code cursor} (null for the first page),
+     * and the cursor of the next page, or null when there are no more matches. A non-null
+     * cursor does not guarantee that the next page is non-empty.
+     */
+    Page search(String firstName, String lastName, boolean prefix, String cursor, int limit) {
+        String first = normalize(firstName);
+        String last = normalize(lastName);
+        ConcurrentSkipListMap<String, Long> index;
+        String low;
+        String high;
+        // Only set for two prefixes: the first-name prefix to seek to under each last name
+        String groupPrefix = null;
+        if (first.isEmpty()) {
+            index = byLastFirst;
+            low = prefix ? last : last + SEPARATOR;
+            high = prefix ? last + Character.MAX_VALUE : last + AFTER_SEPARATOR;
+        } else if (last.isEmpty()) {
+            index = byFirstLast;
+            low = prefix ? first : first + SEPARATOR;
+            high = prefix ? first + Character.MAX_VALUE : first + AFTER_SEPARATOR;
+        } else if (!prefix) {
+            index = byLastFirst;
+            low = last + SEPARATOR + first + SEPARATOR;
+            high = last + SEPARATOR + first + AFTER_SEPARATOR;
+        } else {
+            index = byLastFirst;
+            low = last;
+            high = last + Character.MAX_VALUE;
+            groupPrefix = first;
+        }
+
+        List<Long> ids = new ArrayList<>(Math.min(limit, 64));
+        String lastKey = null;
+        String from = cursor == null ? low : decodeCursor(cursor);
+        boolean inclusive = cursor == null;
+        int skips = 0;
+        while (true) {
+            Map.Entry<String, Long> entry = inclusive ? index.ceilingEntry(from) : index.higherEntry(from);
+            if (entry == null || entry.getKey().compareTo(high) >= 0) {
+                break;
+            }
+            String key = entry.getKey();
+            // Seek targets below never carry an ID, so they never equal a stored key and
+            // resuming from one with higherEntry is the same as a ceilingEntry seek
+            String seek = null;
+            if (key.compareTo(low) < 0) {
+                seek = low;
+            } else if (groupPrefix != null) {
+                String group = key.substring(0, key.indexOf(SEPARATOR) + 1);
+                String groupLow = group + groupPrefix;
+                if (key.compareTo(groupLow) < 0) {
+                    seek = groupLow;
+                } else if (!key.startsWith(groupLow)) {
+                    // Past this last name's matches; jump to the next distinct last name
+                    seek = group.substring(0, group.length() - 1) + AFTER_SEPARATOR;
+                }
+            }
+            if (seek != null) {
+                if (++skips > MAX_SKIPS_PER_PAGE) {
+                    return new Page(ids, encodeCursor(seek));
+                }
+                from = seek;
+                inclusive = true;
+                continue;
+            }
+            if (ids.size() == limit) {
+                return new Page(ids, encodeCursor(lastKey));
+            }
+            ids.add(entry.getValue());
+            lastKey = key;
+            from = key;
+            inclusive = false;
+        }
+        return new Page(ids, null);
+    }
+
+    private static String key(String name, String otherName, Long id) {
+        return name + SEPARATOR + otherName + SEPARATOR + String.format("%019d", id);
+    }
+
+    private static String encodeCursor(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(Map.of("cursor", "Cursor is invalid").toString());
+        }
+    }
+
+    private static String normalize(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT).replace(String.valueOf(SEPARATOR), "");
+    }
+
+    private record IndexedName(String firstName, String lastName) {}
+}
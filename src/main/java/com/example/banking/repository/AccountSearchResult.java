@@ -0,0 +1,21 @@
+package com.example.banking.repository;
+
+import com.example.banking.model.Account;
+
+import java.util.List;
+
+/**
+ * One page of a name search and the opaque cursor that resumes after it, or null on the last page.
+ */
+public class AccountSearchResult {
+    private final List<Account> accounts;
+    private final String nextCursor;
+
+    public AccountSearchResult(List<Account> accounts, String nextCursor) {
+        this.accounts = accounts;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Account> getAccounts() { return accounts; }
+    public String getNextCursor() { return nextCursor; }
+}
@@ -9,8 +9,11 @@ import java.util.Optional;
 public interface BankingRepository {
     Account saveAccount(Account account);
     Transaction saveTransaction(Transaction transaction);
+    Transaction transfer(Transaction transaction);
     Optional<Account> findAccountById(Long id);
     List<Account> findAllAccounts();
+    AccountSearchResult findAccountsByName(String firstName, String lastName, boolean prefix, String cursor, int limit);
     List<Transaction> findTransactionsByAccountId(Long accountId);
     List<Transaction> findAllTransactions(); // New method
+    LedgerSnapshot openSnapshot();
 }
\ No newline at end of file
@@ -1,49 +1,150 @@
 package com.example.banking.repository;
 
+import com.example.banking.exception.InsufficientFundsException;
+import com.example.banking.exception.ResourceNotFoundException;
 import com.example.banking.model.Account;
 import com.example.banking.model.Transaction;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 @Repository
 public class InMemoryBankingRepository implements BankingRepository {
     private final Map<Long, Account> accounts = new ConcurrentHashMap<>();
     private final Map<Long, Transaction> transactions = new ConcurrentHashMap<>();
+    private final AccountNameIndex nameIndex = new AccountNameIndex();
+    // Balances live in the versioned ledger; writers serialize on this lock, readers use snapshots
+    private final LedgerVersions ledger = new LedgerVersions();
+    private final ReentrantLock writeLock = new ReentrantLock();
     private long accountIdCounter = 0;
     private long transactionIdCounter = 0;
 
     @Override
     public Account saveAccount(Account account) {
-        if (account.getId() == null) {
-            account.setId(++accountIdCounter);
+        writeLock.lock();
+        try {
+            if (account.getId() == null) {
+                account.setId(++accountIdCounter);
+            }
+            Long id = account.getId();
+            // Balances of existing accounts only change through transfers. The caller's copy may
+            // predate a transfer (read, rename, save), so its balance is replaced, not committed.
+            BigDecimal current = ledger.headBalance(id);
+            if (current != null) {
+                account.setBalance(current);
+            }
+            // Store the account before committing its balance, so every snapshot that counts
+            // it in the total also lists it
+            Account stored = new Account(id, account.getBalance(), account.getFirstName(), account.getLastName());
+            accounts.put(id, stored);
+            nameIndex.index(stored);
+            if (current == null && account.getBalance() != null) {
+                ledger.commit(Map.of(id, account.getBalance()));
+            }
+            return account;
+        } finally {
+            writeLock.unlock();
         }
-        accounts.put(account.getId(), account);
-        return account;
     }
 
     @Override
     public Transaction saveTransaction(Transaction transaction) {
-        if (transaction.getId() == null) {
-            transaction.setId(++transactionIdCounter);
+        writeLock.lock();
+        try {
+            if (transaction.getId() == null) {
+                transaction.setId(++transactionIdCounter);
+            }
+            transactions.put(transaction.getId(), transaction);
+            return transaction;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Transaction transfer(Transaction transaction) {
+        Long fromId = transaction.getFromAccountId();
+        Long toId = transaction.getToAccountId();
+        if (fromId.equals(toId)) {
+            throw new IllegalArgumentException("Cannot transfer to the same account");
+        }
+        writeLock.lock();
+        try {
+            Account fromAccount = accounts.get(fromId);
+            if (fromAccount == null) {
+                throw new ResourceNotFoundException("From account not found: " + fromId);
+            }
+            Account toAccount = accounts.get(toId);
+            if (toAccount == null) {
+                throw new ResourceNotFoundException("To account not found: " + toId);
+            }
+            BigDecimal fromBalance = ledger.headBalance(fromId);
+            if (fromBalance.compareTo(transaction.getAmount()) < 0) {
+                throw new InsufficientFundsException("Insufficient funds in account: " + fromId);
+            }
+            BigDecimal newFromBalance = fromBalance.subtract(transaction.getAmount());
+            BigDecimal newToBalance = ledger.headBalance(toId).add(transaction.getAmount());
+
+            // Debit and credit become visible to readers together, as one ledger version
+            ledger.commit(Map.of(fromId, newFromBalance, toId, newToBalance));
+            fromAccount.setBalance(newFromBalance);
+            toAccount.setBalance(newToBalance);
+            return saveTransaction(transaction);
+        } finally {
+            writeLock.unlock();
         }
-        transactions.put(transaction.getId(), transaction);
-        return transaction;
     }
 
     @Override
     public Optional<Account> findAccountById(Long id) {
-        return Optional.ofNullable(accounts.get(id));
+        Account account = accounts.get(id);
+        if (account == null) {
+            return Optional.empty();
+        }
+        try (LedgerSnapshot snapshot = ledger.openSnapshot()) {
+            return Optional.of(copyAt(account, snapshot));
+        }
     }
 
     @Override
     public List<Account> findAllAccounts() {
-        return new ArrayList<>(accounts.values());
+        try (LedgerSnapshot snapshot = ledger.openSnapshot()) {
+            List<Account> result = new ArrayList<>();
+            for (Account account : accounts.values()) {
+                BigDecimal balance = snapshot.getBalance(account.getId());
+                if (balance != null) {
+                    result.add(new Account(account.getId(), balance, account.getFirstName(), account.getLastName()));
+                }
+            }
+            return result;
+        }
+    }
+
+    @Override
+    public LedgerSnapshot openSnapshot() {
+        return ledger.openSnapshot();
+    }
+
+    @Override
+    public AccountSearchResult findAccountsByName(String firstName, String lastName, boolean prefix, String cursor, int limit) {
+        AccountNameIndex.Page page = nameIndex.search(firstName, lastName, prefix, cursor, limit);
+        try (LedgerSnapshot snapshot = ledger.openSnapshot()) {
+            List<Account> result = new ArrayList<>();
+            for (Long id : page.ids()) {
+                Account account = accounts.get(id);
+                if (account != null) {
+                    result.add(copyAt(account, snapshot));
+                }
+            }
+            return new AccountSearchResult(result, page.nextCursor());
+        }
     }
 
     @Override
@@ -57,4 +158,10 @@ public class InMemoryBankingRepository implements BankingRepository {
     public List<Transaction> findAllTransactions() {
         return new ArrayList<>(transactions.values());
     }
-}
\ No newline at end of file
+
+    private static Account copyAt(Account account, LedgerSnapshot snapshot) {
+        BigDecimal balance = snapshot.getBalance(account.getId());
+        return new Account(account.getId(), balance != null ? balance : account.getBalance(),
+                account.getFirstName(), account.getLastName());
+    }
+}
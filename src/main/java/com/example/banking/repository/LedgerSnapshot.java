@@ -0,0 +1,25 @@
+package com.example.banking.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * A consistent, read-only view of all balances as of one committed ledger version.
+ * Opening a snapshot never blocks writers; it pins its version so the balances it needs
+ * are not reclaimed. Close it as soon as the read is finished.
+ */
+public interface LedgerSnapshot extends AutoCloseable {
+    long getVersion();
+
+    /**
+     * Returns the balance of the account as of this version, or null if the account
+     * did not exist yet.
+     */
+    BigDecimal getBalance(Long accountId);
+
+    BigDecimal getTotalBalance();
+
+    int getAccountCount();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,203 @@
+package com.example.banking.repository;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Multi-version store of account balances.
+ * Every commit publishes a new ledger version and prepends a node to the version chain of
+ * each account it changed. Readers pin the committed version and walk each chain to the
+ * newest node at or below it, so they see a consistent ledger without taking the writers'
+ * lock, and never retry. Nodes older than every pinned version are unlinked when their
+ * account is written and, for accounts that are not written again, when the oldest pin
+ * is released.
+ */
+class LedgerVersions {
+    private final Map<Long, BalanceVersion> heads = new ConcurrentHashMap<>();
+    // Pinned version -> number of open snapshots at that version
+    private final ConcurrentSkipListMap<Long, Integer> pins = new ConcurrentSkipListMap<>();
+    // Readers between reading committedVersion and publishing their pin
+    private final AtomicInteger pinning = new AtomicInteger();
+    // Accounts whose chains still hold more than their newest version
+    private final Set<Long> staleChains = ConcurrentHashMap.newKeySet();
+    private volatile long committedVersion;
+
+    /**
+     * Publishes the given balances as a single new version. Callers must serialize
+     * commits; readers are never blocked.
+     */
+    long commit(Map<Long, BigDecimal> balances) {
+        long version = committedVersion + 1;
+        balances.forEach((accountId, balance) ->
+                heads.put(accountId, new BalanceVersion(version, balance, heads.get(accountId))));
+        committedVersion = version;
+
+        long keep = reclaimableVersion();
+        for (Long accountId : balances.keySet()) {
+            if (keep >= 0) {
+                prune(accountId, keep);
+            }
+            if (hasOldVersions(accountId)) {
+                staleChains.add(accountId);
+            }
+        }
+        return version;
+    }
+
+    /**
+     * Latest balance of the account; only meaningful to the committing thread.
+     */
+    BigDecimal headBalance(Long accountId) {
+        BalanceVersion head = heads.get(accountId);
+        return head == null ? null : head.balance;
+    }
+
+    LedgerSnapshot openSnapshot() {
+        pinning.incrementAndGet();
+        try {
+            long version = committedVersion;
+            pins.merge(version, 1, Integer::sum);
+            return new Snapshot(version);
+        } finally {
+            pinning.decrementAndGet();
+        }
+    }
+
+    /**
+     * Number of versions currently retained for the account.
+     */
+    int versionCount(Long accountId) {
+        int count = 0;
+        for (BalanceVersion node = heads.get(accountId); node != null; node = node.previous) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * The newest version every current and future reader can still see, or -1 when a reader
+     * is between reading the committed version and pinning it. Readers announce themselves in
+     * {@code pinning} before they read the committed version, so a reader that is missed here
+     * either shows up in {@code pins} or reads a version at least as new as the one read here.
+     */
+    private long reclaimableVersion() {
+        long committed = committedVersion;
+        if (pinning.get() > 0) {
+            return -1;
+        }
+        Map.Entry<Long, Integer> oldestPin = pins.firstEntry();
+        return oldestPin == null ? committed : Math.min(oldestPin.getKey(), committed);
+    }
+
+    private void prune(Long accountId, long keep) {
+        BalanceVersion node = heads.get(accountId);
+        while (node != null && node.version > keep) {
+            node = node.previous;
+        }
+        if (node != null) {
+            node.previous = null;
+        }
+    }
+
+    private boolean hasOldVersions(Long accountId) {
+        BalanceVersion head = heads.get(accountId);
+        return head != null && head.previous != null;
+    }
+
+    private void reclaimStaleChains() {
+        long keep = reclaimableVersion();
+        if (keep < 0) {
+            return;
+        }
+        for (Long accountId : staleChains) {
+            // Remove before pruning so a concurrent commit that re-adds the account is not lost
+            staleChains.remove(accountId);
+            prune(accountId, keep);
+            if (hasOldVersions(accountId)) {
+                staleChains.add(accountId);
+            }
+        }
+    }
+
+    private void unpin(long version) {
+        pins.computeIfPresent(version, (key, count) -> count == 1 ? null : count - 1);
+    }
+
+    private static BigDecimal balanceAt(BalanceVersion node, long version) {
+        while (node != null && node.version > version) {
+            node = node.previous;
+        }
+        return node == null ? null : node.balance;
+    }
+
+    private static final class BalanceVersion {
+        final long version;
+        final BigDecimal balance;
+        volatile BalanceVersion previous;
+
+        BalanceVersion(long version, BigDecimal balance, BalanceVersion previous) {
+            this.version = version;
+            this.balance = balance;
+            this.previous = previous;
+        }
+    }
+
+    private final class Snapshot implements LedgerSnapshot {
+        private final long version;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Snapshot(long version) {
+            this.version = version;
+        }
+
+        @Override
+        public long getVersion() {
+            return version;
+        }
+
+        @Override
+        public BigDecimal getBalance(Long accountId) {
+            return balanceAt(heads.get(accountId), version);
+        }
+
+        @Override
+        public BigDecimal getTotalBalance() {
+            BigDecimal total = BigDecimal.ZERO;
+            for (BalanceVersion head : heads.values()) {
+                BigDecimal balance = balanceAt(head, version);
+                if (balance != null) {
+                    total = total.add(balance);
+                }
+            }
+            return total;
+        }
+
+        @Override
+        public int getAccountCount() {
+            int count = 0;
+            for (BalanceVersion head : heads.values()) {
+                if (balanceAt(head, version) != null) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                unpin(version);
+                // Only releasing the oldest pin can make more versions reclaimable
+                Map.Entry<Long, Integer> oldestPin = pins.firstEntry();
+                if (oldestPin == null || oldestPin.getKey() > version) {
+                    reclaimStaleChains();
+                }
+            }
+        }
+    }
+}
@@ -1,17 +1,19 @@
 package com.example.banking.service;
 
 import com.example.banking.dto.AccountDTO;
+import com.example.banking.dto.AccountPageDTO;
+import com.example.banking.dto.BalanceTotalDTO;
 import com.example.banking.dto.TransactionDTO;
-import com.example.banking.exception.InsufficientFundsException;
 import com.example.banking.exception.ResourceNotFoundException;
 import com.example.banking.model.Account;
 import com.example.banking.model.Transaction;
+import com.example.banking.repository.AccountSearchResult;
 import com.example.banking.repository.BankingRepository;
+import com.example.banking.repository.LedgerSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -19,7 +21,8 @@ import java.util.stream.Collectors;
 
 @Service
 public class BankingService {
-    private static final Logger logger = LoggerFactory.getLogger(BankingService.class);
+    // Routed to the append-only audit file by logback-spring.xml
+    private static final Logger auditLogger = LoggerFactory.getLogger("com.example.banking.audit.Transfers");
     private final BankingRepository repository;
 
     public BankingService(BankingRepository repository) {
@@ -33,35 +36,22 @@ public class BankingService {
     }
 
     public TransactionDTO transferFunds(TransactionDTO transactionDTO) {
-        Optional<Account> fromAccountOpt = repository.findAccountById(transactionDTO.getFromAccountId());
-        Account fromAccount = fromAccountOpt.orElseThrow(() -> 
-            new ResourceNotFoundException("From account not found: " + transactionDTO.getFromAccountId()));
-        
-        Optional<Account> toAccountOpt = repository.findAccountById(transactionDTO.getToAccountId());
-        Account toAccount = toAccountOpt.orElseThrow(() -> 
-            new ResourceNotFoundException("To account not found: " + transactionDTO.getToAccountId()));
-
-        if (fromAccount.getId().equals(toAccount.getId())) {
+        if (transactionDTO.getFromAccountId().equals(transactionDTO.getToAccountId())) {
             throw new IllegalArgumentException("Cannot transfer to the same account");
         }
-        if (fromAccount.getBalance().compareTo(transactionDTO.getAmount()) < 0) {
-            throw new InsufficientFundsException("Insufficient funds in account: " + fromAccount.getId());
-        }
-
-        fromAccount.setBalance(fromAccount.getBalance().subtract(transactionDTO.getAmount()));
-        toAccount.setBalance(toAccount.getBalance().add(transactionDTO.getAmount()));
 
-        Transaction transaction = new Transaction(
+        // Account existence, the balance check, debit, credit and transaction record are
+        // all checked and committed atomically by the repository
+        Transaction transaction = repository.transfer(new Transaction(
                 null,
-                fromAccount.getId(),
-                toAccount.getId(),
+                transactionDTO.getFromAccountId(),
+                transactionDTO.getToAccountId(),
                 transactionDTO.getAmount(),
                 LocalDateTime.now()
-        );
-        transaction = repository.saveTransaction(transaction);
-
-        repository.saveAccount(fromAccount);
-        repository.saveAccount(toAccount);
+        ));
+        auditLogger.info("event=transfer transactionId={} fromAccountId={} toAccountId={} amount={} timestamp={}",
+                transaction.getId(), transaction.getFromAccountId(), transaction.getToAccountId(),
+                transaction.getAmount(), transaction.getTimestamp());
 
         return new TransactionDTO(
                 transaction.getId(),
@@ -85,7 +75,6 @@ public class BankingService {
     }
 
     public List<TransactionDTO> getAllTransactions() {
-        logger.info("Retrieving all transactions");
         return repository.findAllTransactions().stream()
                 .map(t -> new TransactionDTO(
                         t.getId(),
@@ -109,4 +98,18 @@ public class BankingService {
                 .map(account -> new AccountDTO(account.getId(), account.getBalance(), account.getFirstName(), account.getLastName()))
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    public AccountPageDTO searchAccounts(String firstName, String lastName, boolean prefix, String cursor, int size) {
+        AccountSearchResult result = repository.findAccountsByName(firstName, lastName, prefix, cursor, size);
+        List<AccountDTO> content = result.getAccounts().stream()
+                .map(account -> new AccountDTO(account.getId(), account.getBalance(), account.getFirstName(), account.getLastName()))
+                .collect(Collectors.toList());
+        return new AccountPageDTO(content, size, result.getNextCursor());
+    }
+
+    public BalanceTotalDTO getBalanceTotal() {
+        try (LedgerSnapshot snapshot = repository.openSnapshot()) {
+            return new BalanceTotalDTO(snapshot.getVersion(), snapshot.getAccountCount(), snapshot.getTotalBalance());
+        }
+    }
+}
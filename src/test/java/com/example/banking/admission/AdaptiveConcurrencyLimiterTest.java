@@ -0,0 +1,113 @@
+package com.example.banking.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void refusesRequestsAtTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 3, 1, 10);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.getRejectedCount());
+
+        limiter.release();
+        assertTrue(limiter.tryAcquire());
+        assertEquals(3, limiter.getInFlight());
+    }
+
+    @Test
+    void growsUnderSteadyLatency() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 10, 1, 1000);
+
+        completeSaturated(limiter, 50, i -> RTT);
+
+        assertTrue(limiter.getLimit() > 10, "limit was " + limiter.getLimit());
+    }
+
+    @Test
+    void shrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 50, 1, 1000);
+        completeSaturated(limiter, 20, i -> RTT);
+        int steadyLimit = limiter.getLimit();
+
+        completeSaturated(limiter, 20, i -> 4 * RTT);
+
+        assertTrue(limiter.getLimit() < steadyLimit, "limit went from " + steadyLimit + " to " + limiter.getLimit());
+    }
+
+    @Test
+    void staysAtOrBelowMaxLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 10, 1, 20);
+
+        for (int i = 0; i < 500; i++) {
+            completeSaturated(limiter, 1, n -> RTT);
+            assertTrue(limiter.getLimit() <= 20, "limit was " + limiter.getLimit());
+        }
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void staysAtOrAboveMinLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 50, 8, 100);
+        completeSaturated(limiter, 1, i -> RTT);
+
+        for (int i = 0; i < 200; i++) {
+            long rtt = RTT * (i + 2);
+            completeSaturated(limiter, 1, n -> rtt);
+            assertTrue(limiter.getLimit() >= 8, "limit was " + limiter.getLimit());
+        }
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    void releaseDoesNotSampleLatency() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 10, 1, 100);
+        fill(limiter);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.release();
+        }
+
+        assertEquals(10, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void clampsInitialLimitAndRejectsInvalidBounds() {
+        assertEquals(5, new AdaptiveConcurrencyLimiter("test", 1, 5, 10).getLimit());
+        assertEquals(10, new AdaptiveConcurrencyLimiter("test", 50, 5, 10).getLimit());
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter("test", 1, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter("test", 1, 10, 5));
+    }
+
+    /**
+     * Completes requests one at a time while keeping every slot up to the limit occupied,
+     * so the limiter always sees itself as fully used.
+     */
+    private static void completeSaturated(AdaptiveConcurrencyLimiter limiter, int samples, IntToLongFunction rtt) {
+        fill(limiter);
+        for (int i = 0; i < samples; i++) {
+            limiter.onComplete(rtt.applyAsLong(i));
+            fill(limiter);
+        }
+    }
+
+    private static void fill(AdaptiveConcurrencyLimiter limiter) {
+        while (limiter.tryAcquire()) {
+            // keep acquiring until the limit refuses
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.banking.admission;
+
+import com.example.banking.controller.BankingController;
+import com.example.banking.exception.TooManyRequestsException;
+import com.example.banking.repository.InMemoryBankingRepository;
+import com.example.banking.service.BankingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AdmissionControlInterceptorTest {
+    private static final long RETRY_AFTER_SECONDS = 7;
+
+    // Writes: limit 2; bulk reads: limit 1
+    private final AdmissionControlInterceptor interceptor =
+            new AdmissionControlInterceptor(true, RETRY_AFTER_SECONDS, 2, 1, 2, 1, 1, 1);
+
+    @Test
+    void rejectsWithTooManyRequestsAndRetryAfter() throws Exception {
+        MockMvc mockMvc = mockMvc();
+        holdSlot("GET", "/api/transactions");
+
+        mockMvc.perform(get("/api/accounts"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", String.valueOf(RETRY_AFTER_SECONDS)))
+                .andExpect(jsonPath("$.status").value(429));
+        assertEquals(1, interceptor.getBulkReadLimiter().getRejectedCount());
+    }
+
+    @Test
+    void bulkReadsAtTheirLimitDoNotBlockTransfers() throws Exception {
+        MockMvc mockMvc = mockMvc();
+        for (String name : new String[] {"John", "Jane"}) {
+            mockMvc.perform(post("/api/accounts").contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"balance\": 100.00, \"firstName\": \"" + name + "\", \"lastName\": \"Doe\"}"))
+                    .andExpect(status().isCreated());
+        }
+        holdSlot("GET", "/api/accounts/total-balance");
+
+        mockMvc.perform(post("/api/transactions").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fromAccountId\": 1, \"toAccountId\": 2, \"amount\": 25.00}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/transactions")).andExpect(status().isTooManyRequests());
+        assertEquals(0, interceptor.getWriteLimiter().getRejectedCount());
+        assertEquals(0, interceptor.getWriteLimiter().getInFlight());
+    }
+
+    @Test
+    void transactionHistoryUsesTheBulkReadBudget() {
+        holdSlot("GET", "/api/accounts/1/transactions");
+
+        assertEquals(1, interceptor.getBulkReadLimiter().getInFlight());
+        assertThrows(TooManyRequestsException.class, () -> holdSlot("GET", "/api/accounts"));
+    }
+
+    @Test
+    void releasesTheSlotOnClientErrorWithoutSamplingLatency() {
+        int limit = interceptor.getWriteLimiter().getLimit();
+        MockHttpServletRequest request = holdSlot("POST", "/api/transactions");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(400);
+
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertEquals(0, interceptor.getWriteLimiter().getInFlight());
+        assertEquals(limit, interceptor.getWriteLimiter().getLimit());
+    }
+
+    @Test
+    void releasesTheSlotWhenTheHandlerThrows() {
+        MockHttpServletRequest request = holdSlot("GET", "/api/transactions");
+
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), null, new IllegalStateException("boom"));
+        // A second completion of the same request must not free another slot
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), null, null);
+
+        assertEquals(0, interceptor.getBulkReadLimiter().getInFlight());
+        assertTrue(interceptor.getBulkReadLimiter().tryAcquire());
+    }
+
+    @Test
+    void leavesOtherEndpointsUnlimited() {
+        for (int i = 0; i < 10; i++) {
+            holdSlot("GET", "/api/accounts/1");
+            holdSlot("GET", "/api/accounts/search");
+        }
+
+        assertEquals(0, interceptor.getBulkReadLimiter().getInFlight());
+        assertEquals(0, interceptor.getWriteLimiter().getInFlight());
+    }
+
+    private MockMvc mockMvc() {
+        return MockMvcBuilders
+                .standaloneSetup(new BankingController(new BankingService(new InMemoryBankingRepository())))
+                .addInterceptors(interceptor)
+                .build();
+    }
+
+    /**
+     * Admits a request without completing it, so it keeps its slot.
+     */
+    private MockHttpServletRequest holdSlot(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        interceptor.preHandle(request, new MockHttpServletResponse(), null);
+        return request;
+    }
+}
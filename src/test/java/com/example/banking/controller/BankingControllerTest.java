@@ -0,0 +1,40 @@
+package com.example.banking.controller;
+
+import com.example.banking.repository.InMemoryBankingRepository;
+import com.example.banking.service.BankingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class BankingControllerTest {
+    private final MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new BankingController(new BankingService(new InMemoryBankingRepository())))
+            .build();
+
+    @Test
+    void searchRequiresAName() throws Exception {
+        mockMvc.perform(get("/api/accounts/search").param("firstName", " "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details.name").value("At least one of firstName or lastName is required"));
+    }
+
+    @Test
+    void searchRejectsPageSizesOutOfRange() throws Exception {
+        mockMvc.perform(get("/api/accounts/search").param("lastName", "smith").param("size", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details.size").value("Size must be between 1 and 100"));
+        mockMvc.perform(get("/api/accounts/search").param("lastName", "smith").param("size", "101"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchRejectsAnInvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/accounts/search").param("lastName", "smith").param("cursor", "not a cursor!"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details.cursor").value("Cursor is invalid"));
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.banking.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+/**
+ * Measures how long the request thread spends in the transfer log line under the synchronous
+ * setup the application used to have and under the asynchronous setups in logback-spring.xml.
+ * Output goes to a temporary file with the Spring Boot console pattern.
+ *
+ * <p>Run with:
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.banking.logging.LoggingLatencyBenchmark [-Dexec.args="threads callsPerThread"]
+ * </pre>
+ */
+public final class LoggingLatencyBenchmark {
+    private static final String PATTERN =
+            "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p 12345 --- [%15.15t] %-40.40logger{39} : %m%n";
+    private static final int QUEUE_SIZE = 8192;
+
+    private enum Mode {
+        SYNC("synchronous file appender"),
+        ASYNC_LOSSLESS("async, never discards, blocks when full"),
+        ASYNC_DEFAULT("async, application defaults (discard INFO when 80% full, never block)"),
+        ASYNC_SAMPLED("async defaults + sampling 1 in 10");
+
+        private final String description;
+
+        Mode(String description) {
+            this.description = description;
+        }
+    }
+
+    private LoggingLatencyBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int callsPerThread = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        Path dir = Files.createTempDirectory("logging-benchmark");
+
+        System.out.printf("%d threads x %d transfer log calls, %d available processors%n",
+                threads, callsPerThread, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-70s %9s %9s %9s %10s %10s %9s%n",
+                "mode", "mean ns", "p50 ns", "p99 ns", "p99.9 ns", "max ns", "written");
+        for (Mode mode : Mode.values()) {
+            // Warm up each setup so JIT compilation is not part of the measured run
+            run(mode, dir.resolve(mode + "-warmup.log"), threads, callsPerThread / 4);
+            Result result = run(mode, dir.resolve(mode + ".log"), threads, callsPerThread);
+            System.out.printf("%-70s %9.0f %9d %9d %10d %10d %9d%n", mode.description, result.mean(),
+                    result.percentile(50), result.percentile(99), result.percentile(99.9),
+                    result.percentile(100), result.linesWritten);
+        }
+    }
+
+    private static Result run(Mode mode, Path file, int threads, int callsPerThread) throws Exception {
+        LoggerContext context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        Logger logger = context.getLogger("com.example.banking.controller.BankingController");
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        Appender<ILoggingEvent> fileAppender = fileAppender(context, file);
+        if (mode == Mode.SYNC) {
+            root.addAppender(fileAppender);
+        } else {
+            root.addAppender(asyncAppender(context, fileAppender, mode == Mode.ASYNC_LOSSLESS));
+        }
+        if (mode == Mode.ASYNC_SAMPLED) {
+            SamplingTurboFilter filter = new SamplingTurboFilter();
+            filter.setContext(context);
+            filter.setMarker(LogMarkers.REQUEST_WRITE.getName());
+            filter.setSampleRate(10);
+            filter.start();
+            context.addTurboFilter(filter);
+        }
+
+        long[][] latencies = new long[threads][callsPerThread];
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long[] samples = latencies[t];
+            Thread worker = new Thread(() -> {
+                BigDecimal amount = new BigDecimal("50.00");
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < samples.length; i++) {
+                    Long from = (long) (i % 1000);
+                    Long to = (long) ((i + 1) % 1000);
+                    long begin = System.nanoTime();
+                    // Same guarded call as BankingController.transferFunds
+                    if (logger.isInfoEnabled(LogMarkers.REQUEST_WRITE)) {
+                        logger.info(LogMarkers.REQUEST_WRITE, "Processing transfer from account {} to account {} for amount {}",
+                                from, to, amount);
+                    }
+                    samples[i] = System.nanoTime() - begin;
+                }
+            }, "worker-" + t);
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        // Stopping drains the async queue, so the file holds everything that was not discarded
+        context.stop();
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        long written = countLines(file);
+        long expected = (long) threads * callsPerThread;
+        if ((mode == Mode.SYNC || mode == Mode.ASYNC_LOSSLESS) && written != expected) {
+            throw new IllegalStateException(mode + " wrote " + written + " of " + expected + " lines; check logback status");
+        }
+        return new Result(all, written);
+    }
+
+    private static Appender<ILoggingEvent> fileAppender(LoggerContext context, Path file) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        FileAppender<ILoggingEvent> appender = new FileAppender<>();
+        appender.setContext(context);
+        appender.setFile(file.toString());
+        appender.setEncoder(encoder);
+        appender.start();
+        return appender;
+    }
+
+    private static Appender<ILoggingEvent> asyncAppender(LoggerContext context, Appender<ILoggingEvent> delegate, boolean lossless) {
+        AsyncAppender appender = new AsyncAppender();
+        appender.setContext(context);
+        appender.setQueueSize(QUEUE_SIZE);
+        appender.setIncludeCallerData(false);
+        if (lossless) {
+            appender.setDiscardingThreshold(0);
+            appender.setNeverBlock(false);
+        } else {
+            appender.setNeverBlock(true);
+        }
+        appender.setMaxFlushTime(0);
+        appender.addAppender(delegate);
+        appender.start();
+        return appender;
+    }
+
+    private static long countLines(Path file) {
+        try (Stream<String> lines = Files.lines(file)) {
+            return lines.count();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Result(long[] sortedLatencies, long linesWritten) {
+        double mean() {
+            return Arrays.stream(sortedLatencies).average().orElse(0);
+        }
+
+        long percentile(double percentile) {
+            int index = (int) Math.ceil(percentile / 100 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, Math.min(sortedLatencies.length - 1, index))];
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.banking.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sampling is decided on the {@code isXxxEnabled(marker)} guard, so a marked log call without
+ * one is never sampled. Scans the main sources and fails on any such call.
+ */
+class MarkedLogCallsTest {
+    private static final Path MAIN_SOURCES = Path.of("src/main/java");
+    private static final Pattern MARKED_CALL =
+            Pattern.compile("(\\w+)\\.(trace|debug|info|warn|error)\\(\\s*(LogMarkers\\.\\w+)");
+    private static final Pattern GUARD_BEFORE_CALL =
+            Pattern.compile("if \\((\\w+)\\.is(\\w+)Enabled\\((LogMarkers\\.\\w+)\\)\\)\\s*\\{\\s*$");
+
+    @Test
+    void everyMarkedCallIsWrappedInItsGuard() throws IOException {
+        List<String> unguarded = new ArrayList<>();
+        int calls = 0;
+        try (Stream<Path> files = Files.walk(MAIN_SOURCES)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(".java")).toList()) {
+                String source = Files.readString(file);
+                Matcher call = MARKED_CALL.matcher(source);
+                while (call.find()) {
+                    calls++;
+                    Matcher guard = GUARD_BEFORE_CALL.matcher(source.substring(0, call.start()));
+                    if (!guard.find()
+                            || !guard.group(1).equals(call.group(1))
+                            || !guard.group(2).toLowerCase(Locale.ROOT).equals(call.group(2))
+                            || !guard.group(3).equals(call.group(3))) {
+                        unguarded.add(MAIN_SOURCES.relativize(file) + ":" + lineOf(source, call.start()) + " " + call.group());
+                    }
+                }
+            }
+        }
+
+        assertTrue(calls > 0, "no marked log calls found under " + MAIN_SOURCES.toAbsolutePath());
+        assertEquals(List.of(), unguarded, "marked log calls without a matching isXxxEnabled(marker) guard");
+    }
+
+    private static int lineOf(String source, int offset) {
+        return (int) source.substring(0, offset).chars().filter(c -> c == '\n').count() + 1;
+    }
+}
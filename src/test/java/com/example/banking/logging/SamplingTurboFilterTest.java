@@ -0,0 +1,50 @@
+package com.example.banking.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SamplingTurboFilterTest {
+    private final Logger logger = new LoggerContext().getLogger(SamplingTurboFilterTest.class);
+
+    @Test
+    void admitsOneGuardInEverySampleRate() {
+        SamplingTurboFilter filter = startedFilter("REQUEST_READ", 3);
+
+        int admitted = 0;
+        for (int i = 0; i < 30; i++) {
+            if (filter.decide(LogMarkers.REQUEST_READ, logger, Level.INFO, null, null, null) == FilterReply.NEUTRAL) {
+                admitted++;
+            }
+        }
+
+        assertEquals(10, admitted);
+    }
+
+    @Test
+    void letsAdmittedCallsAndOtherMarkersThrough() {
+        SamplingTurboFilter filter = startedFilter("REQUEST_READ", 1000);
+        filter.decide(LogMarkers.REQUEST_READ, logger, Level.INFO, null, null, null);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(FilterReply.NEUTRAL,
+                    filter.decide(LogMarkers.REQUEST_READ, logger, Level.INFO, "Retrieving {}", new Object[] {i}, null));
+            assertEquals(FilterReply.NEUTRAL, filter.decide(LogMarkers.REQUEST_WRITE, logger, Level.INFO, null, null, null));
+            assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.INFO, null, null, null));
+        }
+        assertEquals(FilterReply.DENY, filter.decide(LogMarkers.REQUEST_READ, logger, Level.INFO, null, null, null));
+    }
+
+    private static SamplingTurboFilter startedFilter(String marker, int sampleRate) {
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+        filter.setContext(new LoggerContext());
+        filter.setMarker(marker);
+        filter.setSampleRate(sampleRate);
+        filter.start();
+        return filter;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.banking.repository;
+
+import com.example.banking.model.Account;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccountNameIndexTest {
+
+    @Test
+    void matchesOneNameExactlyOrByPrefix() {
+        AccountNameIndex index = indexOf(
+                account(1, "John", "Smith"),
+                account(2, "Jane", "Smithson"),
+                account(3, "Adam", "Smith"),
+                account(4, "John", "Doe"));
+
+        assertEquals(List.of(3L, 1L), index.search(null, "smith", false, null, 10).ids());
+        assertEquals(List.of(3L, 1L, 2L), index.search(null, "smi", true, null, 10).ids());
+        assertEquals(List.of(4L, 1L), index.search("john", null, false, null, 10).ids());
+        assertEquals(List.of(2L, 4L, 1L), index.search("j", null, true, null, 10).ids());
+        assertEquals(List.of(), index.search(null, "smi", false, null, 10).ids());
+    }
+
+    @Test
+    void matchesBothNamesExactlyOrByPrefix() {
+        AccountNameIndex index = indexOf(
+                account(1, "John", "Smith"),
+                account(2, "Jane", "Smithson"),
+                account(3, "Adam", "Smith"),
+                account(4, "Johanna", "Smith"),
+                account(5, "John", "Doe"),
+                account(6, "Joe", "Smyth"));
+
+        assertEquals(List.of(1L), index.search("john", "smith", false, null, 10).ids());
+        assertEquals(List.of(4L, 1L), index.search("joh", "smith", true, null, 10).ids());
+        assertEquals(List.of(4L, 1L, 2L, 6L), index.search("j", "sm", true, null, 10).ids());
+        assertEquals(List.of(), index.search("zzz", "s", true, null, 10).ids());
+    }
+
+    @Test
+    void foldsCaseAndSurroundingWhitespace() {
+        AccountNameIndex index = indexOf(account(1, " John ", "SMITH"));
+
+        assertEquals(List.of(1L), index.search("JOHN", "  smith", false, null, 10).ids());
+        assertEquals(List.of(1L), index.search(" jo", "Sm ", true, null, 10).ids());
+    }
+
+    @Test
+    void pagesAcrossPageBoundaries() {
+        AccountNameIndex index = new AccountNameIndex();
+        for (long id = 1; id <= 5; id++) {
+            index.index(account(id, "John", "Smith"));
+        }
+
+        AccountNameIndex.Page first = index.search("john", "smith", false, null, 2);
+        assertEquals(List.of(1L, 2L), first.ids());
+        assertNotNull(first.nextCursor());
+        AccountNameIndex.Page second = index.search("john", "smith", false, first.nextCursor(), 2);
+        assertEquals(List.of(3L, 4L), second.ids());
+        AccountNameIndex.Page third = index.search("john", "smith", false, second.nextCursor(), 2);
+        assertEquals(List.of(5L), third.ids());
+        assertNull(third.nextCursor());
+    }
+
+    @Test
+    void exactlyLimitMatchesEndWithoutACursor() {
+        AccountNameIndex index = indexOf(account(1, "John", "Smith"), account(2, "Jane", "Smith"), account(3, "Ann", "Doe"));
+
+        AccountNameIndex.Page page = index.search(null, "smith", false, null, 2);
+
+        assertEquals(List.of(2L, 1L), page.ids());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void twoPrefixSearchStopsAfterTheSkipCapAndResumes() {
+        AccountNameIndex index = new AccountNameIndex();
+        int surnames = AccountNameIndex.MAX_SKIPS_PER_PAGE * 2 + 10;
+        for (int i = 0; i < surnames; i++) {
+            index.index(account(i + 1, "Adam", String.format("S%04d", i)));
+        }
+        index.index(account(surnames + 1, "Zoe", String.format("S%04d", surnames - 1)));
+
+        List<Long> found = new ArrayList<>();
+        int pages = 0;
+        String cursor = null;
+        do {
+            AccountNameIndex.Page page = index.search("z", "s", true, cursor, 10);
+            found.addAll(page.ids());
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(List.of((long) surnames + 1), found);
+        assertTrue(pages > 1, "a single page walked " + surnames + " surnames");
+    }
+
+    @Test
+    void renameDropsTheOldKeys() {
+        AccountNameIndex index = indexOf(account(1, "John", "Smith"));
+
+        index.index(account(1, "John", "Doe"));
+
+        assertEquals(List.of(), index.search(null, "smith", true, null, 10).ids());
+        assertEquals(List.of(), index.search("john", "smith", false, null, 10).ids());
+        assertEquals(List.of(1L), index.search(null, "doe", false, null, 10).ids());
+        assertEquals(List.of(1L), index.search("john", null, false, null, 10).ids());
+    }
+
+    @Test
+    void rejectsAnInvalidCursor() {
+        AccountNameIndex index = indexOf(account(1, "John", "Smith"));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> index.search(null, "smith", true, "not a cursor!", 10));
+        assertEquals("{cursor=Cursor is invalid}", e.getMessage());
+    }
+
+    private static AccountNameIndex indexOf(Account... accounts) {
+        AccountNameIndex index = new AccountNameIndex();
+        for (Account account : accounts) {
+            index.index(account);
+        }
+        return index;
+    }
+
+    private static Account account(long id, String firstName, String lastName) {
+        return new Account(id, BigDecimal.ZERO, firstName, lastName);
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.banking.repository;
+
+import com.example.banking.exception.InsufficientFundsException;
+import com.example.banking.model.Account;
+import com.example.banking.model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryBankingRepositoryTest {
+    private static final int ACCOUNTS = 20;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("100.00");
+    private static final BigDecimal TOTAL = OPENING_BALANCE.multiply(BigDecimal.valueOf(ACCOUNTS));
+
+    @Test
+    void totalBalanceStaysConstantUnderConcurrentTransfers() throws Exception {
+        InMemoryBankingRepository repository = new InMemoryBankingRepository();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            repository.saveAccount(new Account(null, OPENING_BALANCE, "First" + i, "Last" + i));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            writers.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 20_000; i++) {
+                    long from = random.nextLong(1, ACCOUNTS + 1);
+                    long to = random.nextLong(1, ACCOUNTS + 1);
+                    if (from == to) {
+                        continue;
+                    }
+                    BigDecimal amount = BigDecimal.valueOf(random.nextInt(1, 5000), 2);
+                    try {
+                        repository.transfer(new Transaction(null, from, to, amount, LocalDateTime.now()));
+                    } catch (InsufficientFundsException e) {
+                        // expected now and then with random amounts
+                    }
+                }
+            }));
+        }
+        List<Future<Integer>> readers = new ArrayList<>();
+        for (int t = 0; t < 2; t++) {
+            readers.add(executor.submit(() -> {
+                int reads = 0;
+                do {
+                    try (LedgerSnapshot snapshot = repository.openSnapshot()) {
+                        assertEquals(0, TOTAL.compareTo(snapshot.getTotalBalance()), "total at version " + snapshot.getVersion());
+                        assertEquals(ACCOUNTS, snapshot.getAccountCount());
+                    }
+                    BigDecimal listed = repository.findAllAccounts().stream()
+                            .map(Account::getBalance)
+                            .reduce(BigDecimal.ZERO, BigDecimal::add);
+                    assertEquals(0, TOTAL.compareTo(listed), "sum of listed balances");
+                    reads++;
+                } while (writing.get());
+                return reads;
+            }));
+        }
+
+        for (Future<?> writer : writers) {
+            writer.get(2, TimeUnit.MINUTES);
+        }
+        writing.set(false);
+        for (Future<Integer> reader : readers) {
+            assertTrue(reader.get(1, TimeUnit.MINUTES) > 0);
+        }
+        executor.shutdown();
+
+        try (LedgerSnapshot snapshot = repository.openSnapshot()) {
+            assertEquals(0, TOTAL.compareTo(snapshot.getTotalBalance()));
+        }
+    }
+
+    @Test
+    void everyAccountCountedInASnapshotIsAlreadyListed() throws Exception {
+        InMemoryBankingRepository repository = new InMemoryBankingRepository();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> creator = executor.submit(() -> {
+            for (int i = 0; i < 5_000; i++) {
+                repository.saveAccount(new Account(null, BigDecimal.ONE, "First" + i, "Last" + i));
+            }
+        });
+
+        while (!creator.isDone()) {
+            try (LedgerSnapshot snapshot = repository.openSnapshot()) {
+                // IDs are sequential, so the newest account in the snapshot has ID == count
+                long newest = snapshot.getAccountCount();
+                if (newest > 0) {
+                    assertTrue(repository.findAccountById(newest).isPresent(), "account " + newest + " counted but not stored");
+                }
+            }
+        }
+        creator.get();
+        executor.shutdown();
+        List<Account> listed = repository.findAllAccounts();
+        assertEquals(5_000, listed.size());
+        try (LedgerSnapshot snapshot = repository.openSnapshot()) {
+            assertEquals(listed.size(), snapshot.getAccountCount());
+        }
+    }
+
+    @Test
+    void renamingAlongsideTransfersKeepsTheTotal() throws Exception {
+        InMemoryBankingRepository repository = new InMemoryBankingRepository();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            repository.saveAccount(new Account(null, OPENING_BALANCE, "First" + i, "Last" + i));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<?> transfers = executor.submit(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 20_000; i++) {
+                long from = random.nextLong(1, ACCOUNTS + 1);
+                long to = from % ACCOUNTS + 1;
+                try {
+                    repository.transfer(new Transaction(null, from, to, BigDecimal.valueOf(random.nextInt(1, 5000), 2),
+                            LocalDateTime.now()));
+                } catch (InsufficientFundsException e) {
+                    // expected now and then with random amounts
+                }
+            }
+        });
+        Future<?> renames = executor.submit(() -> {
+            int i = 0;
+            while (!transfers.isDone()) {
+                // Read, rename and save, as a client editing an account would
+                long id = i % ACCOUNTS + 1;
+                Account account = repository.findAccountById(id).orElseThrow();
+                account.setLastName("Renamed" + i++);
+                repository.saveAccount(account);
+            }
+        });
+
+        transfers.get(2, TimeUnit.MINUTES);
+        renames.get(1, TimeUnit.MINUTES);
+        executor.shutdown();
+
+        try (LedgerSnapshot snapshot = repository.openSnapshot()) {
+            assertEquals(0, TOTAL.compareTo(snapshot.getTotalBalance()), "total after renames");
+        }
+        BigDecimal listed = repository.findAllAccounts().stream()
+                .map(Account::getBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(0, TOTAL.compareTo(listed), "sum of listed balances");
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.banking.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LedgerVersionsTest {
+    private static final BigDecimal HUNDRED = new BigDecimal("100.00");
+
+    @Test
+    void snapshotKeepsSeeingItsVersion() {
+        LedgerVersions ledger = new LedgerVersions();
+        ledger.commit(Map.of(1L, HUNDRED, 2L, BigDecimal.ZERO));
+
+        try (LedgerSnapshot before = ledger.openSnapshot()) {
+            ledger.commit(Map.of(1L, new BigDecimal("60.00"), 2L, new BigDecimal("40.00")));
+            ledger.commit(Map.of(3L, new BigDecimal("5.00")));
+
+            assertEquals(HUNDRED, before.getBalance(1L));
+            assertEquals(BigDecimal.ZERO, before.getBalance(2L));
+            assertNull(before.getBalance(3L));
+            assertEquals(2, before.getAccountCount());
+            assertEquals(0, HUNDRED.compareTo(before.getTotalBalance()));
+
+            try (LedgerSnapshot after = ledger.openSnapshot()) {
+                assertEquals(new BigDecimal("60.00"), after.getBalance(1L));
+                assertEquals(new BigDecimal("40.00"), after.getBalance(2L));
+                assertEquals(3, after.getAccountCount());
+                assertEquals(0, new BigDecimal("105.00").compareTo(after.getTotalBalance()));
+            }
+        }
+    }
+
+    @Test
+    void reclaimsOldVersionsOnCommitWhenNothingIsPinned() {
+        LedgerVersions ledger = new LedgerVersions();
+        for (int i = 0; i < 10; i++) {
+            ledger.commit(Map.of(1L, new BigDecimal(i)));
+        }
+
+        assertEquals(1, ledger.versionCount(1L));
+    }
+
+    @Test
+    void reclaimsUnwrittenAccountsWhenTheOldestPinIsReleased() {
+        LedgerVersions ledger = new LedgerVersions();
+        ledger.commit(Map.of(1L, HUNDRED, 2L, HUNDRED));
+
+        LedgerSnapshot oldest = ledger.openSnapshot();
+        for (int i = 0; i < 5; i++) {
+            ledger.commit(Map.of(1L, new BigDecimal(i), 2L, new BigDecimal(i)));
+        }
+        LedgerSnapshot newer = ledger.openSnapshot();
+        ledger.commit(Map.of(1L, HUNDRED));
+
+        // Pinned versions must survive while their snapshots are open
+        assertEquals(HUNDRED, oldest.getBalance(2L));
+        assertEquals(new BigDecimal(4), newer.getBalance(1L));
+
+        newer.close();
+        assertEquals(HUNDRED, oldest.getBalance(1L));
+        assertEquals(HUNDRED, oldest.getBalance(2L));
+
+        oldest.close();
+        assertEquals(1, ledger.versionCount(1L));
+        assertEquals(1, ledger.versionCount(2L));
+    }
+
+    @Test
+    void closingTwiceReleasesThePinOnce() {
+        LedgerVersions ledger = new LedgerVersions();
+        ledger.commit(Map.of(1L, HUNDRED));
+        LedgerSnapshot first = ledger.openSnapshot();
+        LedgerSnapshot second = ledger.openSnapshot();
+        ledger.commit(Map.of(1L, BigDecimal.ONE));
+
+        first.close();
+        first.close();
+
+        assertEquals(HUNDRED, second.getBalance(1L));
+        second.close();
+        assertEquals(1, ledger.versionCount(1L));
+    }
+}